@@ -0,0 +1,73 @@
+package com.example.student_management.config;
+
+import com.example.student_management.tenant.ShardingProperties;
+import com.example.student_management.tenant.TenantRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class DataSourceConfig {
+
+    /**
+     * DataSource principale : la base spring.datasource sert les tenants sans shard,
+     * chaque shard de app.sharding.shards a son propre pool de connexions.
+     * Les réglages spring.datasource.hikari.* s'appliquent à tous les pools,
+     * app.sharding.shards.<shard>.hikari.* les surchargent pour un shard.
+     * Les pools sont fermés à l'arrêt avec la DataSource de routage.
+     */
+    @Bean
+    @Primary
+    public TenantRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                              ShardingProperties shardingProperties,
+                                              Environment environment) {
+        Binder binder = Binder.get(environment);
+
+        shardingProperties.getTenants().forEach((tenantId, shardName) -> {
+            if (!shardingProperties.getShards().containsKey(shardName)) {
+                throw new IllegalStateException("Shard inconnu '" + shardName + "' pour le tenant '" + tenantId + "'");
+            }
+        });
+
+        Map<Object, Object> shards = new HashMap<>();
+        shardingProperties.getShards().forEach((name, shard) -> {
+            DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword());
+            if (shard.getDriverClassName() != null) {
+                builder.driverClassName(shard.getDriverClassName());
+            }
+            HikariDataSource pool = builder.build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            binder.bind("app.sharding.shards." + name + ".hikari", Bindable.ofInstance(pool));
+            if (pool.getPoolName() == null) {
+                pool.setPoolName("shard-" + name);
+            }
+            shards.put(name, pool);
+        });
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        TenantRoutingDataSource routingDataSource = new TenantRoutingDataSource(shardingProperties);
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.setTargetDataSources(shards);
+        return routingDataSource;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.student_management.config;
+
+import com.example.student_management.tenant.TenantRoutingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Avec app.students.unique-identity=true, rend unique l'index idx_students_identity (tenant_id, nom, prenom,
+ * date_naissance) sur la base principale et sur chaque shard, après la mise à jour du schéma par Hibernate.
+ * Sans lui, deux insertions simultanées du même étudiant pourraient passer toutes les deux.
+ * L'index garde son nom : Hibernate (ddl-auto=update) ne recrée pas d'index simple en double.
+ */
+@Component
+@ConditionalOnProperty(name = "app.students.unique-identity", havingValue = "true")
+@DependsOn({"entityManagerFactory", "shardSchemaInitializer"})
+public class StudentIdentityConstraintConfig implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentIdentityConstraintConfig.class);
+
+    private static final String TABLE = "students";
+    private static final Set<String> COLUMNS = Set.of("tenant_id", "nom", "prenom", "date_naissance");
+    private static final String INDEX = "idx_students_identity";
+    private static final String DROP_INDEX = "DROP INDEX " + INDEX + " ON students";
+    private static final String CREATE_UNIQUE_INDEX = "CREATE UNIQUE INDEX " + INDEX
+            + " ON students (tenant_id, nom, prenom, date_naissance)";
+
+    @Autowired
+    private TenantRoutingDataSource dataSource;
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        addConstraint("principale", dataSource.getResolvedDefaultDataSource());
+        for (Map.Entry<Object, DataSource> shard : dataSource.getResolvedDataSources().entrySet()) {
+            addConstraint("shard " + shard.getKey(), shard.getValue());
+        }
+    }
+
+    private void addConstraint(String name, DataSource target) throws SQLException {
+        try (Connection connection = target.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? TABLE.toUpperCase(Locale.ROOT) : TABLE;
+
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), table, null)) {
+                if (!tables.next()) {
+                    log.warn("Base {} : table {} absente, contrainte d'unicité non créée", name, TABLE);
+                    return;
+                }
+            }
+            if (hasUniqueIndexOnIdentity(metaData, connection, table)) {
+                return;
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                if (indexes(metaData, connection, table, false).containsKey(INDEX)) {
+                    statement.executeUpdate(DROP_INDEX);
+                }
+                statement.executeUpdate(CREATE_UNIQUE_INDEX);
+                log.info("Base {} : index {} rendu unique", name, INDEX);
+            } catch (SQLException e) {
+                // Une autre instance démarrée en même temps a pu créer l'index unique entre-temps
+                if (hasUniqueIndexOnIdentity(metaData, connection, table)) {
+                    log.info("Base {} : index unique {} créé par une autre instance", name, INDEX);
+                    return;
+                }
+                throw new IllegalStateException("Base " + name + " : impossible de rendre unique l'index " + INDEX
+                        + " (doublons existants ?) ; supprimer les doublons ou désactiver app.students.unique-identity", e);
+            }
+        }
+    }
+
+    // Recherche un index unique portant exactement sur les colonnes d'identité, quel que soit son nom
+    private static boolean hasUniqueIndexOnIdentity(DatabaseMetaData metaData, Connection connection, String table)
+            throws SQLException {
+        return indexes(metaData, connection, table, true).containsValue(COLUMNS);
+    }
+
+    // Colonnes de chaque index de la table, noms en minuscules
+    private static Map<String, Set<String>> indexes(DatabaseMetaData metaData, Connection connection, String table,
+            boolean uniqueOnly) throws SQLException {
+        Map<String, Set<String>> indexes = new HashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, uniqueOnly, false)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (indexName != null && column != null) {
+                    indexes.computeIfAbsent(indexName.toLowerCase(Locale.ROOT), n -> new HashSet<>())
+                            .add(column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return indexes;
+    }
+}
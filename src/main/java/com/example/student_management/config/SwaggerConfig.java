@@ -1,10 +1,15 @@
 package com.example.student_management.config;
 
+import com.example.student_management.tenant.TenantFilter;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.HeaderParameter;
 import io.swagger.v3.oas.models.servers.Server;
+import org.springdoc.core.customizers.OperationCustomizer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -36,4 +41,17 @@ public class SwaggerConfig {
                                 .description("Serveur de production")
                 ));
     }
+
+    /**
+     * Documente l'en-tête X-Tenant-ID sur toutes les opérations de l'API
+     */
+    @Bean
+    public OperationCustomizer tenantHeaderCustomizer(@Value("${app.tenancy.require-header:false}") boolean requireHeader) {
+        return (operation, handlerMethod) -> operation.addParametersItem(new HeaderParameter()
+                .name(TenantFilter.TENANT_HEADER)
+                .description("Identifiant de l'école (tenant) : lettres, chiffres, '-' ou '_', 64 caractères au plus."
+                        + (requireHeader ? "" : " Par défaut : \"default\"."))
+                .required(requireHeader)
+                .schema(new StringSchema().pattern("[A-Za-z0-9_-]{1,64}")));
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.student_management.controller;
 
 import com.example.student_management.entity.Student;
+import com.example.student_management.idempotency.IdempotencyStore;
 import com.example.student_management.service.StudentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -8,6 +9,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +27,9 @@ public class StudentController {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
     /**
      * Enregistre un nouvel étudiant
      * POST /students/save
@@ -31,13 +37,50 @@ public class StudentController {
     @Operation(summary = "Créer un nouvel étudiant", description = "Ajoute un nouvel étudiant dans la base de données")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Étudiant créé avec succès"),
-        @ApiResponse(responseCode = "400", description = "Données invalides")
+        @ApiResponse(responseCode = "200", description = "Étudiant déjà existant, il est retourné avec son ID"),
+        @ApiResponse(responseCode = "400", description = "Données invalides"),
+        @ApiResponse(responseCode = "409", description = "Requête d'origine de cette clé d'idempotence encore en cours"),
+        @ApiResponse(responseCode = "422", description = "Clé d'idempotence déjà utilisée pour un autre étudiant"),
+        @ApiResponse(responseCode = "503", description = "Base de données indisponible, la requête peut être rejouée")
     })
     @PostMapping("/save")
-    public ResponseEntity<Student> save(@RequestBody Student student) {
+    public ResponseEntity<Student> save(
+        @Parameter(description = "Clé d'idempotence : un rejeu avec la même clé renvoie la réponse d'origine")
+        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+        @RequestBody Student student) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return saveStudent(student);
+        }
+        if (idempotencyKey.length() > 255) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return idempotencyStore.execute(idempotencyKey, fingerprint(student), () -> saveStudent(student));
+    }
+
+    // Contenu de la requête comparé lors d'un rejeu avec la même clé d'idempotence
+    private static String fingerprint(Student student) {
+        return student.getNom() + '\u0000' + student.getPrenom() + '\u0000'
+                + (student.getDateNaissance() != null ? student.getDateNaissance().getTime() : null);
+    }
+
+    private ResponseEntity<Student> saveStudent(Student student) {
         try {
+            Student existingStudent = studentService.findDuplicate(student);
+            if (existingStudent != null) {
+                return new ResponseEntity<>(existingStudent, HttpStatus.OK);
+            }
             Student savedStudent = studentService.save(student);
             return new ResponseEntity<>(savedStudent, HttpStatus.CREATED);
+        } catch (DataIntegrityViolationException e) {
+            // Le même étudiant a été inséré en parallèle : la contrainte unique renvoie vers l'existant
+            Student existingStudent = studentService.findExisting(student);
+            if (existingStudent != null) {
+                return new ResponseEntity<>(existingStudent, HttpStatus.OK);
+            }
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (DataAccessException e) {
+            // Panne ou délai dépassé côté base : ce n'est pas une erreur du client
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
@@ -1,14 +1,32 @@
 package com.example.student_management.entity;
 
+import com.example.student_management.tenant.TenantContext;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+
 import java.util.Date;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+    // Les recherches et statistiques sont toujours filtrées par tenant
+    // Sert aussi à la détection des doublons (nom, prénom, date de naissance) ; rendu unique au démarrage
+    // avec app.students.unique-identity=true (StudentIdentityConstraintConfig), sans second index
+    @Index(name = "idx_students_identity", columnList = "tenant_id, nom, prenom, date_naissance"),
+    @Index(name = "idx_students_tenant_date_naissance", columnList = "tenant_id, date_naissance")
+})
 public class Student {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int id;
+
+    // Renseigné par Hibernate à partir du tenant de la requête, jamais par le client
+    @TenantId
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("'" + TenantContext.DEFAULT_TENANT + "'")
+    @Column(name = "tenant_id", nullable = false, updatable = false, length = 64)
+    private String tenantId;
     
     @Column(name = "nom")
     private String nom;
@@ -39,6 +57,14 @@ public class Student {
         this.id = id;
     }
 
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
     public String getNom() {
         return nom;
     }
@@ -67,6 +93,7 @@ public class Student {
     public String toString() {
         return "Student{" +
                 "id=" + id +
+                ", tenantId='" + tenantId + '\'' +
                 ", nom='" + nom + '\'' +
                 ", prenom='" + prenom + '\'' +
                 ", dateNaissance=" + dateNaissance +
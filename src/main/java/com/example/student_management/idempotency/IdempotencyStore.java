@@ -0,0 +1,151 @@
+package com.example.student_management.idempotency;
+
+import com.example.student_management.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Mémorise les réponses des requêtes portant un en-tête Idempotency-Key.
+ * Les clés sont isolées par tenant, et leur nombre est borné par tenant (les plus anciennes sont évincées) :
+ * un tenant très actif ne peut pas évincer les clés des autres. Chaque clé expire après le TTL.
+ * Les clés sont gardées en mémoire dans chaque instance : un rejeu qui arrive sur une autre instance
+ * n'est pas reconnu (seule la contrainte d'unicité protège alors contre les doublons).
+ */
+@Component
+public class IdempotencyStore {
+
+    private final int maxKeys;
+    private final long ttlMillis;
+    private final LongSupplier currentTimeMillis;
+
+    // Clés de chaque tenant ; ordre d'insertion = ordre d'expiration, le TTL étant le même pour toutes les clés
+    private final Map<String, LinkedHashMap<String, Entry>> tenants = new HashMap<>();
+
+    @Autowired
+    public IdempotencyStore(@Value("${app.idempotency.max-keys:10000}") int maxKeys,
+                            @Value("${app.idempotency.ttl:24h}") Duration ttl) {
+        this(maxKeys, ttl, System::currentTimeMillis);
+    }
+
+    public IdempotencyStore(int maxKeys, Duration ttl, LongSupplier currentTimeMillis) {
+        this.maxKeys = maxKeys;
+        this.ttlMillis = ttl.toMillis();
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    /**
+     * Exécute l'action une seule fois par clé.
+     * Un rejeu pendant le TTL renvoie la réponse d'origine, ou 409 si la requête d'origine est encore en cours.
+     * Une clé réutilisée pour une autre requête (empreinte différente) renvoie 422.
+     * Une réponse en erreur n'est pas mémorisée : la requête pourra être rejouée.
+     * @param key la valeur de l'en-tête Idempotency-Key
+     * @param fingerprint le contenu de la requête, comparé lors des rejeux
+     * @param action l'action à exécuter
+     * @return la réponse de l'action, la réponse mémorisée pour cette clé, 409 ou 422
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String key, String fingerprint, Supplier<ResponseEntity<T>> action) {
+        String tenantId = TenantContext.getTenantId();
+        byte[] hash = sha256(fingerprint);
+        Entry entry;
+
+        synchronized (tenants) {
+            long now = currentTimeMillis.getAsLong();
+            removeExpired(now);
+            LinkedHashMap<String, Entry> entries = tenants.computeIfAbsent(tenantId, t -> newTenantEntries());
+            Entry previous = entries.get(key);
+            if (previous != null) {
+                if (!MessageDigest.isEqual(previous.hash, hash)) {
+                    return new ResponseEntity<>(HttpStatus.UNPROCESSABLE_ENTITY);
+                }
+                if (previous.response == null) {
+                    return new ResponseEntity<>(HttpStatus.CONFLICT);
+                }
+                return (ResponseEntity<T>) previous.response;
+            }
+            entry = new Entry(hash, now + ttlMillis);
+            entries.put(key, entry);
+        }
+
+        ResponseEntity<T> result = null;
+        try {
+            result = action.get();
+        } finally {
+            // Toute issue autre qu'une réponse 2xx (y compris une Error) libère la clé
+            synchronized (tenants) {
+                if (result != null && result.getStatusCode().is2xxSuccessful()) {
+                    entry.response = result;
+                } else {
+                    remove(tenantId, key, entry);
+                }
+            }
+        }
+        return result;
+    }
+
+    private LinkedHashMap<String, Entry> newTenantEntries() {
+        return new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxKeys;
+            }
+        };
+    }
+
+    // Appelé sous le verrou ; les tenants sans clé sont retirés pour ne pas garder de maps vides
+    private void removeExpired(long now) {
+        Iterator<LinkedHashMap<String, Entry>> tenantIterator = tenants.values().iterator();
+        while (tenantIterator.hasNext()) {
+            LinkedHashMap<String, Entry> entries = tenantIterator.next();
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext() && iterator.next().expiresAt <= now) {
+                iterator.remove();
+            }
+            if (entries.isEmpty()) {
+                tenantIterator.remove();
+            }
+        }
+    }
+
+    // Appelé sous le verrou
+    private void remove(String tenantId, String key, Entry entry) {
+        LinkedHashMap<String, Entry> entries = tenants.get(tenantId);
+        if (entries != null && entries.get(key) == entry) {
+            entries.remove(key);
+        }
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry {
+        private final byte[] hash;
+        private final long expiresAt;
+        // null tant que la requête d'origine est en cours
+        private ResponseEntity<?> response;
+
+        private Entry(byte[] hash, long expiresAt) {
+            this.hash = hash;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -23,6 +23,9 @@ public interface StudentRepository extends JpaRepository<Student, Integer> {
     // Recherche d'étudiants par nom et prénom
     List<Student> findByNomAndPrenom(String nom, String prenom);
 
+    // Recherche d'un étudiant par nom, prénom et date de naissance (détection des doublons)
+    Student findFirstByNomAndPrenomAndDateNaissance(String nom, String prenom, java.util.Date dateNaissance);
+
     // Requête personnalisée pour compter les étudiants par année de naissance
     @Query("SELECT YEAR(s.dateNaissance), COUNT(s) FROM Student s GROUP BY YEAR(s.dateNaissance)")
     Collection<Object[]> findNbrStudentByYear();
@@ -3,6 +3,7 @@ package com.example.student_management.service;
 import com.example.student_management.entity.Student;
 import com.example.student_management.repository.StudentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Collection;
@@ -15,6 +16,10 @@ public class StudentService {
     @Autowired
     private StudentRepository studentRepository;
 
+    // Un étudiant est identifié par (nom, prénom, date de naissance) : pas de doublon à l'enregistrement
+    @Value("${app.students.unique-identity:false}")
+    private boolean uniqueIdentity;
+
     /**
      * Enregistre ou met à jour un étudiant
      * @param student l'étudiant à sauvegarder
@@ -24,6 +29,28 @@ public class StudentService {
         return studentRepository.save(student);
     }
 
+    /**
+     * Recherche un étudiant identique avant enregistrement, si l'unicité est activée
+     * @param student l'étudiant à enregistrer
+     * @return l'étudiant existant, ou null s'il n'existe pas ou si l'unicité n'est pas activée
+     */
+    public Student findDuplicate(Student student) {
+        if (!uniqueIdentity) {
+            return null;
+        }
+        return findExisting(student);
+    }
+
+    /**
+     * Recherche l'étudiant identique (même nom, prénom et date de naissance), quelle que soit la configuration
+     * @param student l'étudiant recherché
+     * @return l'étudiant existant ou null
+     */
+    public Student findExisting(Student student) {
+        return studentRepository.findFirstByNomAndPrenomAndDateNaissance(
+                student.getNom(), student.getPrenom(), student.getDateNaissance());
+    }
+
     /**
      * Supprime un étudiant par son ID
      * @param id l'identifiant de l'étudiant à supprimer
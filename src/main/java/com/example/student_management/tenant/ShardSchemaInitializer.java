@@ -0,0 +1,105 @@
+package com.example.student_management.tenant;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.tool.schema.spi.DelayedDropRegistryNotAvailableImpl;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Applique au démarrage le schéma des entités sur chaque shard, comme spring.jpa.hibernate.ddl-auto
+ * le fait pour la base principale : update (aussi pour create / create-drop, sans effacer les données
+ * d'un shard), validate, ou none (le démarrage échoue alors si une table manque sur un shard)
+ */
+@Component
+public class ShardSchemaInitializer implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    // Attendre que Hibernate ait traité la base principale
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TenantRoutingDataSource dataSource;
+
+    @Autowired
+    private JpaProperties jpaProperties;
+
+    @Value("${spring.jpa.hibernate.ddl-auto:none}")
+    private String ddlAuto;
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        String action = switch (ddlAuto.toLowerCase(Locale.ROOT)) {
+            case "update", "create", "create-drop", "create-only" -> "update";
+            case "validate" -> "validate";
+            default -> "none";
+        };
+        for (Map.Entry<Object, DataSource> shard : dataSource.getResolvedDataSources().entrySet()) {
+            if ("none".equals(action)) {
+                checkTablesExist(shard.getKey(), shard.getValue());
+            } else {
+                applySchema(shard.getValue(), action);
+                log.info("Shard {} : schéma appliqué ({})", shard.getKey(), action);
+            }
+        }
+    }
+
+    private void applySchema(DataSource shard, String action) {
+        Map<String, Object> settings = new HashMap<>(jpaProperties.getProperties());
+        settings.put(AvailableSettings.DATASOURCE, shard);
+        settings.put(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName());
+        settings.put(AvailableSettings.HBM2DDL_AUTO, action);
+        settings.put(AvailableSettings.HBM2DDL_HALT_ON_ERROR, true);
+        if (jpaProperties.getDatabasePlatform() != null) {
+            settings.put(AvailableSettings.DIALECT, jpaProperties.getDatabasePlatform());
+        }
+
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder().applySettings(settings).build();
+        try {
+            MetadataSources sources = new MetadataSources(registry);
+            for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+                sources.addAnnotatedClass(entity.getJavaType());
+            }
+            Metadata metadata = sources.buildMetadata();
+            SchemaManagementToolCoordinator.process(metadata, registry, settings, DelayedDropRegistryNotAvailableImpl.INSTANCE);
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    private void checkTablesExist(Object name, DataSource shard) throws SQLException {
+        try (Connection connection = shard.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? "STUDENTS" : "students";
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), table, null)) {
+                if (!tables.next()) {
+                    throw new IllegalStateException("Shard " + name + " : table students absente ; "
+                            + "activer spring.jpa.hibernate.ddl-auto=update ou créer le schéma du shard");
+                }
+            }
+        }
+    }
+}
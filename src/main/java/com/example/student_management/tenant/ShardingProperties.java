@@ -0,0 +1,84 @@
+package com.example.student_management.tenant;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration du sharding par tenant (préfixe app.sharding).
+ * Un tenant absent de "tenants" est servi par la base principale (spring.datasource).
+ */
+@ConfigurationProperties(prefix = "app.sharding")
+public class ShardingProperties {
+
+    // tenant -> nom du shard
+    private Map<String, String> tenants = new HashMap<>();
+
+    // nom du shard -> connexion
+    private Map<String, Shard> shards = new HashMap<>();
+
+    /**
+     * Recherche le shard d'un tenant
+     * @param tenantId l'identifiant du tenant
+     * @return le nom du shard, ou null pour la base principale
+     */
+    public String shardFor(String tenantId) {
+        return tenants.get(tenantId);
+    }
+
+    public Map<String, String> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(Map<String, String> tenants) {
+        this.tenants = tenants;
+    }
+
+    public Map<String, Shard> getShards() {
+        return shards;
+    }
+
+    public void setShards(Map<String, Shard> shards) {
+        this.shards = shards;
+    }
+
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getDriverClassName() {
+            return driverClassName;
+        }
+
+        public void setDriverClassName(String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.student_management.tenant;
+
+/**
+ * Tenant (école) de la requête en cours, porté par le thread qui la traite
+ */
+public final class TenantContext {
+
+    // Tenant utilisé quand la requête n'en précise pas (déploiement mono-école)
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * Récupère le tenant courant
+     * @return l'identifiant du tenant, ou DEFAULT_TENANT si aucun n'est défini
+     */
+    public static String getTenantId() {
+        String tenantId = CURRENT_TENANT.get();
+        return tenantId != null ? tenantId : DEFAULT_TENANT;
+    }
+
+    public static void setTenantId(String tenantId) {
+        CURRENT_TENANT.set(tenantId);
+    }
+
+    public static void clear() {
+        CURRENT_TENANT.remove();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.student_management.tenant;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Résout le tenant de chaque requête à partir de l'en-tête X-Tenant-ID
+ */
+@Component
+public class TenantFilter extends OncePerRequestFilter {
+
+    public static final String TENANT_HEADER = "X-Tenant-ID";
+
+    private static final Pattern TENANT_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    // En déploiement multi-écoles, une requête sans tenant est rejetée au lieu d'aller dans "default"
+    private final boolean requireHeader;
+
+    public TenantFilter(@Value("${app.tenancy.require-header:false}") boolean requireHeader) {
+        this.requireHeader = requireHeader;
+    }
+
+    // Le tenant ne concerne que l'API des étudiants (pas Swagger UI ni la documentation OpenAPI)
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/students");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String tenantId = request.getHeader(TENANT_HEADER);
+        if (tenantId == null && requireHeader) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "En-tête " + TENANT_HEADER + " obligatoire");
+            return;
+        }
+        if (tenantId != null && !TENANT_PATTERN.matcher(tenantId).matches()) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "En-tête " + TENANT_HEADER + " invalide");
+            return;
+        }
+        try {
+            TenantContext.setTenantId(tenantId);
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+}
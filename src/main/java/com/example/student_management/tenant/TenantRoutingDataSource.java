@@ -0,0 +1,42 @@
+package com.example.student_management.tenant;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource qui route chaque connexion vers le shard du tenant courant
+ */
+public class TenantRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private final ShardingProperties shardingProperties;
+
+    public TenantRoutingDataSource(ShardingProperties shardingProperties) {
+        this.shardingProperties = shardingProperties;
+        // Un shard inconnu est une erreur de configuration, pas un repli silencieux sur la base principale
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return shardingProperties.shardFor(TenantContext.getTenantId());
+    }
+
+    /**
+     * Ferme les pools de connexions de la base principale et des shards
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource shard : getResolvedDataSources().values()) {
+            close(shard);
+        }
+        close(getResolvedDefaultDataSource());
+    }
+
+    private static void close(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.student_management;
+
+import com.example.student_management.config.DataSourceConfig;
+import com.example.student_management.tenant.ShardingProperties;
+import com.example.student_management.tenant.TenantContext;
+import com.example.student_management.tenant.TenantRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataSourceConfigTest {
+
+    @AfterEach
+    void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void testTenantRoutedToItsShard() throws Exception {
+        // Arrange - Base principale, un shard et un tenant affecté à ce shard
+        TenantRoutingDataSource dataSource = createDataSource(shardingProperties("shard1"), new MockEnvironment());
+
+        try {
+            // Act / Assert - Le tenant du shard obtient une connexion sur le shard
+            TenantContext.setTenantId("ecole-a");
+            assertTrue(connectionUrl(dataSource).contains("shard1"));
+
+            // Act / Assert - Un tenant sans shard reste sur la base principale
+            TenantContext.setTenantId("ecole-b");
+            assertTrue(connectionUrl(dataSource).contains("primary"));
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    @Test
+    void testUnknownShardRejected() {
+        // Arrange - Tenant affecté à un shard non déclaré
+        ShardingProperties shardingProperties = shardingProperties("shard1");
+        shardingProperties.getTenants().put("ecole-c", "shard2");
+
+        // Act / Assert - La configuration est refusée au démarrage
+        assertThrows(IllegalStateException.class,
+                () -> createDataSource(shardingProperties, new MockEnvironment()));
+    }
+
+    @Test
+    void testHikariSettingsAppliedAndPoolsClosed() throws Exception {
+        // Arrange - Réglages Hikari communs et surcharge pour le shard
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "3")
+                .withProperty("app.sharding.shards.shard1.hikari.maximum-pool-size", "5");
+
+        // Act - Créer puis arrêter la DataSource
+        TenantRoutingDataSource dataSource = createDataSource(shardingProperties("shard1"), environment);
+        HikariDataSource primary = (HikariDataSource) dataSource.getResolvedDefaultDataSource();
+        HikariDataSource shard = (HikariDataSource) dataSource.getResolvedDataSources().get("shard1");
+        dataSource.destroy();
+
+        // Assert - Chaque pool a ses réglages et est fermé à l'arrêt
+        assertEquals(3, primary.getMaximumPoolSize());
+        assertEquals(5, shard.getMaximumPoolSize());
+        assertEquals("shard-shard1", shard.getPoolName());
+        assertTrue(primary.isClosed());
+        assertTrue(shard.isClosed());
+    }
+
+    private static ShardingProperties shardingProperties(String shardName) {
+        ShardingProperties.Shard shard = new ShardingProperties.Shard();
+        shard.setUrl("jdbc:h2:mem:" + shardName);
+        shard.setUsername("sa");
+        ShardingProperties shardingProperties = new ShardingProperties();
+        shardingProperties.getShards().put(shardName, shard);
+        shardingProperties.getTenants().put("ecole-a", shardName);
+        return shardingProperties;
+    }
+
+    private static TenantRoutingDataSource createDataSource(ShardingProperties shardingProperties,
+                                                            MockEnvironment environment) throws Exception {
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl("jdbc:h2:mem:primary");
+        dataSourceProperties.setUsername("sa");
+        dataSourceProperties.afterPropertiesSet();
+
+        TenantRoutingDataSource dataSource =
+                new DataSourceConfig().dataSource(dataSourceProperties, shardingProperties, environment);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    private static String connectionUrl(TenantRoutingDataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+}
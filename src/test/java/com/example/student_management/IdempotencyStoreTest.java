@@ -0,0 +1,180 @@
+package com.example.student_management;
+
+import com.example.student_management.idempotency.IdempotencyStore;
+import com.example.student_management.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyStoreTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private final IdempotencyStore store = new IdempotencyStore(3, Duration.ofMinutes(10), now::get);
+
+    @AfterEach
+    void clearTenant() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void testRetryReturnsOriginalResponse() {
+        ResponseEntity<Integer> response = store.execute("key", "body", this::created);
+        ResponseEntity<Integer> retryResponse = store.execute("key", "body", this::created);
+
+        assertEquals(HttpStatus.CREATED, retryResponse.getStatusCode());
+        assertEquals(response.getBody(), retryResponse.getBody());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testKeyExpiresAfterTtl() {
+        store.execute("key", "body", this::created);
+
+        // Act - Avancer l'horloge au-delà du TTL
+        now.addAndGet(Duration.ofMinutes(10).toMillis());
+        ResponseEntity<Integer> response = store.execute("key", "body", this::created);
+
+        // Assert - La requête est de nouveau exécutée
+        assertEquals(2, response.getBody());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testOldestKeyEvictedBeyondMaxKeys() {
+        for (String key : new String[] {"k1", "k2", "k3", "k4"}) {
+            store.execute(key, "body", this::created);
+        }
+
+        // Act - Rejouer la plus ancienne (évincée) et la plus récente (conservée)
+        store.execute("k1", "body", this::created);
+        store.execute("k4", "body", this::created);
+
+        // Assert - Seule la clé évincée est réexécutée
+        assertEquals(5, executions.get());
+    }
+
+    @Test
+    void testKeysScopedByTenant() {
+        TenantContext.setTenantId("ecole-a");
+        store.execute("key", "body", this::created);
+
+        TenantContext.setTenantId("ecole-b");
+        ResponseEntity<Integer> response = store.execute("key", "body", this::created);
+
+        // Assert - La même clé dans une autre école est une nouvelle requête
+        assertEquals(2, response.getBody());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testErrorResponseNotCached() {
+        ResponseEntity<Integer> response = store.execute("key", "body", () -> {
+            executions.incrementAndGet();
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        });
+        ResponseEntity<Integer> retryResponse = store.execute("key", "body", this::created);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(HttpStatus.CREATED, retryResponse.getStatusCode());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testExceptionNotCached() {
+        assertThrows(IllegalStateException.class, () -> store.execute("key", "body", () -> {
+            throw new IllegalStateException("panne");
+        }));
+        ResponseEntity<Integer> retryResponse = store.execute("key", "body", this::created);
+
+        assertEquals(HttpStatus.CREATED, retryResponse.getStatusCode());
+    }
+
+    @Test
+    void testKeysBoundedPerTenant() {
+        TenantContext.setTenantId("ecole-a");
+        store.execute("key", "body", this::created);
+
+        // Act - Un autre tenant dépasse largement la limite de clés
+        TenantContext.setTenantId("ecole-b");
+        for (int i = 0; i < 10; i++) {
+            store.execute("k" + i, "body", this::created);
+        }
+        TenantContext.setTenantId("ecole-a");
+        ResponseEntity<Integer> response = store.execute("key", "body", this::created);
+
+        // Assert - La clé du premier tenant n'a pas été évincée
+        assertEquals(1, response.getBody());
+        assertEquals(11, executions.get());
+    }
+
+    @Test
+    void testErrorNotCached() {
+        assertThrows(StackOverflowError.class, () -> store.execute("key", "body", () -> {
+            throw new StackOverflowError();
+        }));
+        ResponseEntity<Integer> retryResponse = store.execute("key", "body", this::created);
+
+        // Assert - La clé n'est pas restée « en cours » (pas de 409)
+        assertEquals(HttpStatus.CREATED, retryResponse.getStatusCode());
+    }
+
+    @Test
+    void testSameKeyWithDifferentBodyRejected() {
+        store.execute("key", "body", this::created);
+        ResponseEntity<Integer> response = store.execute("key", "autre body", this::created);
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testRetryWhileInFlightReturnsConflict() throws Exception {
+        // Arrange - Une première requête bloquée pendant son exécution
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<Integer>> first = CompletableFuture.supplyAsync(
+                () -> store.execute("key", "body", () -> {
+                    started.countDown();
+                    await(release);
+                    return created();
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act - Rejouer pendant l'exécution, puis après
+        ResponseEntity<Integer> concurrentResponse = store.execute("key", "body", this::created);
+        release.countDown();
+        ResponseEntity<Integer> firstResponse = first.get(5, TimeUnit.SECONDS);
+        ResponseEntity<Integer> laterResponse = store.execute("key", "body", this::created);
+
+        // Assert - Le rejeu concurrent reçoit 409 sans attendre, le rejeu suivant la réponse d'origine
+        assertEquals(HttpStatus.CONFLICT, concurrentResponse.getStatusCode());
+        assertEquals(firstResponse.getBody(), laterResponse.getBody());
+        assertEquals(1, executions.get());
+    }
+
+    private ResponseEntity<Integer> created() {
+        return new ResponseEntity<>(executions.incrementAndGet(), HttpStatus.CREATED);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.student_management;
+
+import com.example.student_management.tenant.TenantFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vérifie sur H2 qu'un shard vierge reçoit le schéma au démarrage et sert son tenant
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:shardprimarydb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "app.sharding.shards.shard1.url=" + ShardSchemaTest.SHARD_URL,
+    "app.sharding.shards.shard1.username=sa",
+    "app.sharding.tenants.ecole-s=shard1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ShardSchemaTest {
+
+    static final String SHARD_URL = "jdbc:h2:mem:shard1db;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testShardSchemaCreatedAndUsed() throws Exception {
+        // Act - Enregistrer un étudiant pour le tenant du shard
+        mockMvc.perform(post("/students/save")
+                        .header(TenantFilter.TENANT_HEADER, "ecole-s")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nom\":\"SHARD\",\"prenom\":\"Lea\",\"dateNaissance\":\"2002-04-05\"}"))
+                .andExpect(status().isCreated());
+
+        // Assert - La ligne est sur le shard, pas sur la base principale
+        JdbcTemplate shard = new JdbcTemplate(new DriverManagerDataSource(SHARD_URL, "sa", ""));
+        assertEquals(1, shard.queryForObject(
+                "SELECT COUNT(*) FROM students WHERE tenant_id = 'ecole-s' AND nom = 'SHARD'", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students WHERE nom = 'SHARD'", Integer.class));
+        assertEquals(2, shard.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE LOWER(INDEX_NAME) IN ('idx_students_identity', 'idx_students_tenant_date_naissance')", Integer.class));
+        mockMvc.perform(get("/students/search/nom/SHARD").header(TenantFilter.TENANT_HEADER, "ecole-s"))
+                .andExpect(jsonPath("$[0].prenom").value("Lea"));
+    }
+}
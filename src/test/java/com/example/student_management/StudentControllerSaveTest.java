@@ -0,0 +1,145 @@
+package com.example.student_management;
+
+import com.example.student_management.controller.StudentController;
+import com.example.student_management.entity.Student;
+import com.example.student_management.idempotency.IdempotencyStore;
+import com.example.student_management.service.StudentService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Enregistrement d'un étudiant : idempotence et doublons (sans base de données)
+ */
+@ExtendWith(MockitoExtension.class)
+class StudentControllerSaveTest {
+
+    @Mock
+    private StudentService studentService;
+
+    @Spy
+    private IdempotencyStore idempotencyStore = new IdempotencyStore(100, Duration.ofHours(1));
+
+    @InjectMocks
+    private StudentController studentController;
+
+    @Test
+    void testSaveStudentIdempotentRetry() {
+        // Arrange - Préparer un étudiant et sa version sauvegardée
+        Student student = new Student("LACHGAR", "Mohamed", new Date());
+        when(studentService.save(any(Student.class))).thenReturn(saved(student, 1));
+
+        // Act - Envoyer deux fois la même requête avec la même clé
+        ResponseEntity<Student> response = studentController.save("retry-key", student);
+        ResponseEntity<Student> retryResponse = studentController.save("retry-key", student);
+
+        // Assert - Le rejeu renvoie la réponse d'origine sans nouvel enregistrement
+        assertEquals(HttpStatus.CREATED, retryResponse.getStatusCode());
+        assertEquals(response.getBody().getId(), retryResponse.getBody().getId());
+        verify(studentService, times(1)).save(any(Student.class));
+    }
+
+    @Test
+    void testSaveStudentSameKeyOtherStudent() {
+        // Arrange - Une première requête enregistrée avec la clé
+        Student student = new Student("LACHGAR", "Mohamed", new Date());
+        when(studentService.save(any(Student.class))).thenReturn(saved(student, 1));
+        studentController.save("retry-key", student);
+
+        // Act - Réutiliser la clé pour un autre étudiant
+        ResponseEntity<Student> response = studentController.save("retry-key", new Student("MARTIN", "Sophie", new Date()));
+
+        // Assert - La clé est refusée au lieu de rejouer le premier étudiant
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        verify(studentService, times(1)).save(any(Student.class));
+    }
+
+    @Test
+    void testSaveStudentKeyTooLong() {
+        // Act - Envoyer une clé de plus de 255 caractères
+        ResponseEntity<Student> response = studentController.save("k".repeat(256), new Student("LACHGAR", "Mohamed", new Date()));
+
+        // Assert - La requête est rejetée sans enregistrement
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(studentService, never()).save(any(Student.class));
+    }
+
+    @Test
+    void testSaveStudentDuplicate() {
+        // Arrange - Simuler un étudiant identique déjà enregistré
+        Student student = new Student("LACHGAR", "Mohamed", new Date());
+        when(studentService.findDuplicate(any(Student.class))).thenReturn(saved(student, 7));
+
+        // Act - Exécuter l'enregistrement
+        ResponseEntity<Student> response = studentController.save(null, student);
+
+        // Assert - L'étudiant existant est retourné sans insertion
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(7, response.getBody().getId());
+        verify(studentService, never()).save(any(Student.class));
+    }
+
+    @Test
+    void testSaveStudentUniqueConstraintConflict() {
+        // Arrange - La contrainte unique rejette une insertion concurrente
+        Student student = new Student("LACHGAR", "Mohamed", new Date());
+        when(studentService.save(any(Student.class))).thenThrow(new DataIntegrityViolationException("idx_students_identity"));
+        when(studentService.findExisting(any(Student.class))).thenReturn(saved(student, 7));
+
+        // Act - Exécuter l'enregistrement
+        ResponseEntity<Student> response = studentController.save(null, student);
+
+        // Assert - L'étudiant existant est retourné
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(7, response.getBody().getId());
+    }
+
+    @Test
+    void testSaveStudentIntegrityViolationWithoutExisting() {
+        // Arrange - Violation de contrainte sans étudiant identique (données invalides)
+        when(studentService.save(any(Student.class))).thenThrow(new DataIntegrityViolationException("not null"));
+
+        // Act - Exécuter l'enregistrement
+        ResponseEntity<Student> response = studentController.save(null, new Student());
+
+        // Assert - La requête est rejetée
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void testSaveStudentDatabaseUnavailable() {
+        // Arrange - La base ne répond pas à temps
+        when(studentService.save(any(Student.class))).thenThrow(new QueryTimeoutException("timeout"));
+
+        // Act - Exécuter l'enregistrement avec une clé d'idempotence
+        ResponseEntity<Student> response = studentController.save("retry-key", new Student("LACHGAR", "Mohamed", new Date()));
+
+        // Assert - Erreur serveur (503) et non 400 ; la clé reste libre pour un rejeu
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        when(studentService.save(any(Student.class))).thenReturn(saved(new Student(), 1));
+        assertEquals(HttpStatus.CREATED, studentController.save("retry-key", new Student("LACHGAR", "Mohamed", new Date())).getStatusCode());
+    }
+
+    private static Student saved(Student student, int id) {
+        Student savedStudent = new Student(student.getNom(), student.getPrenom(), student.getDateNaissance());
+        savedStudent.setId(id);
+        return savedStudent;
+    }
+}
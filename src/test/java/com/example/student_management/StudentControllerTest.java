@@ -47,7 +47,7 @@ class StudentControllerTest {
         when(studentService.save(any(Student.class))).thenReturn(savedStudent);
 
         // Assert - Exécuter le test et vérifier les résultats
-        ResponseEntity<Student> response = studentController.save(student);
+        ResponseEntity<Student> response = studentController.save(null, student);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals("LACHGAR", response.getBody().getNom());
@@ -0,0 +1,101 @@
+package com.example.student_management;
+
+import com.example.student_management.config.StudentIdentityConstraintConfig;
+import com.example.student_management.tenant.TenantFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vérifie sur une base H2 que app.students.unique-identity crée la contrainte d'unicité
+ * et que l'enregistrement d'un doublon renvoie l'étudiant existant
+ */
+@SpringBootTest(properties = {
+    "app.students.unique-identity=true",
+    // Base dédiée : la contrainte ne doit pas être perdue si un autre contexte de test recrée le schéma
+    "spring.datasource.url=jdbc:h2:mem:identitydb;MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class StudentIdentityConstraintTest {
+
+    private static final String STUDENT = "{\"nom\":\"UNIQUE\",\"prenom\":\"Paul\",\"dateNaissance\":\"2000-02-03\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentIdentityConstraintConfig identityConstraint;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM students");
+    }
+
+    @Test
+    void testDuplicateSaveReturnsExistingStudent() throws Exception {
+        int id = save("ecole-a", 201);
+
+        // Act / Assert - Le doublon renvoie l'étudiant existant, sans nouvelle ligne
+        assertEquals(id, save("ecole-a", 200));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students", Integer.class));
+    }
+
+    @Test
+    void testSameStudentAllowedInOtherTenant() throws Exception {
+        save("ecole-a", 201);
+        save("ecole-b", 201);
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students", Integer.class));
+    }
+
+    @Test
+    void testDatabaseRejectsDuplicate() {
+        String insert = "INSERT INTO students (tenant_id, nom, prenom, date_naissance) VALUES ('ecole-a', 'UNIQUE', 'Paul', DATE '2000-02-03')";
+        jdbcTemplate.update(insert);
+
+        // Assert - La contrainte rejette un doublon qui contournerait la vérification applicative
+        assertThrows(DuplicateKeyException.class, () -> jdbcTemplate.update(insert));
+    }
+
+    @Test
+    void testIdentityIndexMadeUniqueWithoutSecondIndex() throws Exception {
+        // Act - Un second passage (redémarrage) ne doit rien recréer
+        identityConstraint.afterPropertiesSet();
+
+        // Assert - Un seul index porte sur les colonnes d'identité, et il est unique
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE LOWER(TABLE_NAME) = 'students' AND LOWER(INDEX_NAME) LIKE '%identity%'", Integer.class));
+        assertEquals("UNIQUE INDEX", jdbcTemplate.queryForObject("SELECT INDEX_TYPE_NAME FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE LOWER(INDEX_NAME) = 'idx_students_identity'", String.class));
+    }
+
+    private int save(String tenantId, int expectedStatus) throws Exception {
+        String response = mockMvc.perform(post("/students/save")
+                        .header(TenantFilter.TENANT_HEADER, tenantId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(STUDENT))
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asInt();
+    }
+}
@@ -0,0 +1,502 @@
+package com.example.student_management;
+
+import com.example.student_management.entity.Student;
+import com.example.student_management.repository.StudentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test de charge de l'API REST des étudiants.
+ * Démarre l'application sur un port aléatoire avec une base H2 embarquée,
+ * insère N étudiants puis envoie un mélange configurable de requêtes HTTP
+ * (voir application-loadtest.properties).
+ * Lancement : mvn -Pload-test test
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"h2", "loadtest"})
+class StudentLoadTest {
+
+    // Nombre de noms distincts : une recherche par nom retourne environ students / NB_NOMS lignes
+    private static final int NB_NOMS = 200;
+
+    // Nombre de causes d'erreur affichées dans le rapport
+    private static final int NB_ERROR_CAUSES = 10;
+
+    private enum Operation {
+        FIND_BY_ID("findById"),
+        SEARCH("search"),
+        FIND_ALL("findAll"),
+        SAVE("save"),
+        UPDATE("update"),
+        DELETE("delete");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    // Mesures d'une exécution, indexées par numéro de requête
+    private static final class Samples {
+        private final long[] latencies;
+        private final byte[] operations;
+        private final boolean[] errors;
+
+        private Samples(int nbRequests) {
+            latencies = new long[nbRequests];
+            operations = new byte[nbRequests];
+            errors = new boolean[nbRequests];
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.students}")
+    private int nbStudents;
+
+    @Value("${loadtest.warmup-requests}")
+    private int nbWarmupRequests;
+
+    @Value("${loadtest.requests}")
+    private int nbRequests;
+
+    @Value("${loadtest.concurrency}")
+    private int concurrency;
+
+    @Value("${loadtest.rate}")
+    private double rate;
+
+    @Value("${loadtest.mix}")
+    private String mix;
+
+    @Value("${loadtest.baseline-file}")
+    private String baselineFile;
+
+    @Value("${loadtest.record-baseline}")
+    private boolean recordBaseline;
+
+    @Value("${loadtest.budget.throughput-tolerance}")
+    private double throughputTolerance;
+
+    @Value("${loadtest.budget.latency-tolerance}")
+    private double latencyTolerance;
+
+    @Value("${loadtest.budget.min-throughput}")
+    private double minThroughput;
+
+    @Value("${loadtest.budget.max-p99-ms}")
+    private double maxP99Ms;
+
+    @Value("${loadtest.budget.max-p999-ms}")
+    private double maxP999Ms;
+
+    @Value("${loadtest.budget.max-error-rate}")
+    private double maxErrorRate;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    // Étudiants lus / modifiés (jamais supprimés)
+    private int[] seededIds;
+
+    // Étudiants pouvant être supprimés (pré-insérés + créés pendant le test)
+    private final Queue<Integer> deletableIds = new ConcurrentLinkedQueue<>();
+
+    // Poids cumulés du mélange, indexés par Operation.ordinal()
+    private int[] cumulativeWeights;
+
+    // Nombre d'erreurs par cause (statut HTTP ou exception)
+    private final Map<String, LongAdder> errorCauses = new ConcurrentHashMap<>();
+
+    @Test
+    void loadTestStudentApi() throws Exception {
+        // Arrange - Préparer le mélange de requêtes et les données
+        cumulativeWeights = parseMix(mix);
+        seed();
+
+        // Act - Chauffer la JVM puis mesurer
+        run(nbWarmupRequests, null);
+        errorCauses.clear();
+
+        Samples samples = new Samples(nbRequests);
+        long start = System.nanoTime();
+        run(nbRequests, samples);
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        // Assert - Afficher le rapport et vérifier le budget
+        double throughput = nbRequests / elapsedSeconds;
+        long nbErrors = report(samples, throughput);
+        long[] sorted = samples.latencies.clone();
+        Arrays.sort(sorted);
+        double errorRate = (double) nbErrors / nbRequests;
+        double p99Ms = percentile(sorted, 0.99) / 1_000_000.0;
+        double p999Ms = percentile(sorted, 0.999) / 1_000_000.0;
+
+        List<Executable> checks = new ArrayList<>();
+        checks.add(() -> assertTrue(errorRate <= maxErrorRate,
+                String.format("taux d'erreur %.4f > %.4f", errorRate, maxErrorRate)));
+
+        // Seuils absolus, vérifiés dès qu'ils sont renseignés (0 = désactivé)
+        if (minThroughput > 0) {
+            checks.add(() -> assertTrue(throughput >= minThroughput,
+                    String.format("débit %.1f req/s < %.1f req/s (seuil absolu)", throughput, minThroughput)));
+        }
+        if (maxP99Ms > 0) {
+            checks.add(() -> assertTrue(p99Ms <= maxP99Ms,
+                    String.format("p99 %.2f ms > %.2f ms (seuil absolu)", p99Ms, maxP99Ms)));
+        }
+        if (maxP999Ms > 0) {
+            checks.add(() -> assertTrue(p999Ms <= maxP999Ms,
+                    String.format("p999 %.2f ms > %.2f ms (seuil absolu)", p999Ms, maxP999Ms)));
+        }
+
+        // Seuils relatifs à la référence de la machine : seule loadtest.record-baseline=true remplace une référence
+        Path baselinePath = Path.of(baselineFile);
+        if (recordBaseline || !Files.exists(baselinePath)) {
+            saveBaseline(baselinePath, throughput, p99Ms, p999Ms);
+        } else {
+            Properties baseline = loadBaseline(baselinePath);
+            if (!configuration().equals(baseline.getProperty("configuration"))) {
+                System.out.printf("Référence %s mesurée avec une autre configuration (%s) : comparaison ignorée "
+                                + "(-Dloadtest.record-baseline=true pour la remplacer)%n%n",
+                        baselineFile, baseline.getProperty("configuration"));
+            } else {
+                double baselineMinThroughput = Double.parseDouble(baseline.getProperty("throughput")) * (1 - throughputTolerance);
+                double baselineMaxP99Ms = Double.parseDouble(baseline.getProperty("p99-ms")) * (1 + latencyTolerance);
+                double baselineMaxP999Ms = Double.parseDouble(baseline.getProperty("p999-ms")) * (1 + latencyTolerance);
+                checks.add(() -> assertTrue(throughput >= baselineMinThroughput,
+                        String.format("débit %.1f req/s < %.1f req/s (référence)", throughput, baselineMinThroughput)));
+                checks.add(() -> assertTrue(p99Ms <= baselineMaxP99Ms,
+                        String.format("p99 %.2f ms > %.2f ms (référence)", p99Ms, baselineMaxP99Ms)));
+                checks.add(() -> assertTrue(p999Ms <= baselineMaxP999Ms,
+                        String.format("p999 %.2f ms > %.2f ms (référence)", p999Ms, baselineMaxP999Ms)));
+            }
+        }
+
+        assertAll("budget de régression", checks);
+    }
+
+    /**
+     * Insère les étudiants de test directement via le repository.
+     * Des étudiants supplémentaires sont créés pour alimenter les DELETE.
+     */
+    private void seed() {
+        studentRepository.deleteAllInBatch();
+
+        int totalWeight = cumulativeWeights[cumulativeWeights.length - 1];
+        int deleteWeight = cumulativeWeights[Operation.DELETE.ordinal()]
+                - cumulativeWeights[Operation.DELETE.ordinal() - 1];
+        long nbDeletable = (long) Math.ceil((double) (nbWarmupRequests + nbRequests) * deleteWeight / totalWeight) * 2;
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < nbStudents + nbDeletable; i++) {
+            students.add(newStudent(i));
+        }
+        List<Student> saved = studentRepository.saveAll(students);
+
+        seededIds = new int[nbStudents];
+        for (int i = 0; i < saved.size(); i++) {
+            if (i < nbStudents) {
+                seededIds[i] = saved.get(i).getId();
+            } else {
+                deletableIds.add(saved.get(i).getId());
+            }
+        }
+    }
+
+    /**
+     * Envoie nbRequests requêtes avec au plus "concurrency" requêtes en cours.
+     * Si loadtest.rate = 0 (boucle fermée), chaque thread enchaîne les requêtes
+     * et la latence est mesurée à l'envoi.
+     * Si loadtest.rate > 0 (boucle ouverte), les requêtes sont planifiées à intervalle fixe
+     * et la latence est mesurée depuis l'heure prévue : l'attente dans la file est comptée.
+     * Si samples est null, les mesures ne sont pas enregistrées (warm-up).
+     */
+    private void run(int nbRequests, Samples samples) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            long intervalNanos = rate > 0 ? Math.round(1_000_000_000.0 / rate) : 0;
+            long firstStart = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(nbRequests);
+            for (int i = 0; i < nbRequests; i++) {
+                int index = i;
+                long scheduledStart = firstStart + i * intervalNanos;
+                if (rate > 0) {
+                    long wait;
+                    while ((wait = scheduledStart - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+                futures.add(executor.submit(() -> {
+                    Operation operation = pickOperation();
+                    HttpRequest request = buildRequest(operation);
+                    if (request == null) {
+                        // Plus d'étudiant à supprimer : un SAVE le remplace (et alimente la file des DELETE)
+                        operation = Operation.SAVE;
+                        request = buildRequest(operation);
+                    }
+                    long start = rate > 0 ? scheduledStart : System.nanoTime();
+                    boolean ok = execute(operation, request);
+                    long latency = System.nanoTime() - start;
+                    if (samples != null) {
+                        samples.latencies[index] = latency;
+                        samples.operations[index] = (byte) operation.ordinal();
+                        samples.errors[index] = !ok;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Construit la requête HTTP d'une opération
+     * @return la requête, ou null pour un DELETE s'il n'y a plus d'étudiant à supprimer
+     */
+    private HttpRequest buildRequest(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case FIND_BY_ID -> get("/students/" + randomSeededId());
+            case SEARCH -> get("/students/search/nom/NOM" + random.nextInt(NB_NOMS));
+            case FIND_ALL -> get("/students/all");
+            case SAVE -> HttpRequest.newBuilder(uri("/students/save"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(toJson(random.nextInt())))
+                    .build();
+            case UPDATE -> HttpRequest.newBuilder(uri("/students/update/" + randomSeededId()))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(toJson(random.nextInt())))
+                    .build();
+            case DELETE -> {
+                Integer id = deletableIds.poll();
+                yield id == null ? null : HttpRequest.newBuilder(uri("/students/delete/" + id)).DELETE().build();
+            }
+        };
+    }
+
+    /**
+     * Exécute une requête HTTP, en comptant la cause de chaque erreur
+     * @return true si la réponse est un succès (2xx)
+     */
+    private boolean execute(Operation operation, HttpRequest request) {
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                countError(operation.key + " : HTTP " + response.statusCode());
+                return false;
+            }
+            if (operation == Operation.SAVE) {
+                deletableIds.add(objectMapper.readTree(response.body()).get("id").asInt());
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            countError(operation.key + " : " + e);
+            return false;
+        } catch (Exception e) {
+            countError(operation.key + " : " + e);
+            return false;
+        }
+    }
+
+    private void countError(String cause) {
+        errorCauses.computeIfAbsent(cause, c -> new LongAdder()).increment();
+    }
+
+    /**
+     * Affiche débit, percentiles, taux d'erreur et causes d'erreur, globalement et par opération
+     * @return le nombre total d'erreurs
+     */
+    private long report(Samples samples, double throughput) {
+        int nbSamples = samples.latencies.length;
+        System.out.printf("%n=== Test de charge : %d requêtes, %d connexions, %s, %d étudiants ===%n",
+                nbSamples, concurrency, rate > 0 ? String.format("boucle ouverte à %.0f req/s", rate) : "boucle fermée",
+                nbStudents);
+        System.out.printf("%-10s %8s %8s %10s %10s %10s %10s%n",
+                "opération", "requêtes", "erreurs", "p50 (ms)", "p99 (ms)", "p999 (ms)", "max (ms)");
+
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            long[] opLatencies = new long[nbSamples];
+            int count = 0;
+            long opErrors = 0;
+            for (int i = 0; i < nbSamples; i++) {
+                if (samples.operations[i] == operation.ordinal()) {
+                    opLatencies[count++] = samples.latencies[i];
+                    if (samples.errors[i]) {
+                        opErrors++;
+                    }
+                }
+            }
+            totalErrors += opErrors;
+            if (count > 0) {
+                printLine(operation.key, Arrays.copyOf(opLatencies, count), opErrors);
+            }
+        }
+        printLine("total", samples.latencies.clone(), totalErrors);
+        System.out.printf("Débit : %.1f req/s, taux d'erreur : %.4f%n", throughput, (double) totalErrors / nbSamples);
+
+        errorCauses.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                .limit(NB_ERROR_CAUSES)
+                .forEach(e -> System.out.printf("  %8d x %s%n", e.getValue().sum(), e.getKey()));
+        System.out.println();
+        return totalErrors;
+    }
+
+    private void printLine(String label, long[] values, long nbErrors) {
+        Arrays.sort(values);
+        System.out.printf("%-10s %8d %8d %10.2f %10.2f %10.2f %10.2f%n",
+                label, values.length, nbErrors,
+                percentile(values, 0.50) / 1_000_000.0,
+                percentile(values, 0.99) / 1_000_000.0,
+                percentile(values, 0.999) / 1_000_000.0,
+                values[values.length - 1] / 1_000_000.0);
+    }
+
+    // Référence mesurée sur cette machine
+    private static Properties loadBaseline(Path path) throws IOException {
+        Properties baseline = new Properties();
+        try (Reader reader = Files.newBufferedReader(path)) {
+            baseline.load(reader);
+        }
+        return baseline;
+    }
+
+    private void saveBaseline(Path path, double throughput, double p99Ms, double p999Ms) throws IOException {
+        Properties baseline = new Properties();
+        baseline.setProperty("configuration", configuration());
+        baseline.setProperty("throughput", String.valueOf(throughput));
+        baseline.setProperty("p99-ms", String.valueOf(p99Ms));
+        baseline.setProperty("p999-ms", String.valueOf(p999Ms));
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            baseline.store(writer, "Référence du test de charge pour cette machine ("
+                    + Runtime.getRuntime().availableProcessors() + " CPU)");
+        }
+        System.out.printf("Référence enregistrée dans %s : les prochaines exécutions y seront comparées%n%n", baselineFile);
+    }
+
+    // Paramètres qui influent sur les mesures : une référence n'est comparable qu'à configuration égale
+    private String configuration() {
+        return String.format("students=%d, requests=%d, concurrency=%d, rate=%s, mix=%s, cpus=%d",
+                nbStudents, nbRequests, concurrency, rate, mix, Runtime.getRuntime().availableProcessors());
+    }
+
+    // Percentile par la méthode du rang le plus proche (tableau déjà trié)
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    /**
+     * Analyse le mélange "findById=40,search=20,..."
+     * @return les poids cumulés indexés par Operation.ordinal()
+     */
+    private static int[] parseMix(String mix) {
+        int[] weights = new int[Operation.values().length];
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            Operation operation = Arrays.stream(Operation.values())
+                    .filter(op -> op.key.equals(parts[0].trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Opération inconnue dans loadtest.mix : " + parts[0]));
+            weights[operation.ordinal()] = Integer.parseInt(parts[1].trim());
+        }
+        for (int i = 1; i < weights.length; i++) {
+            weights[i] += weights[i - 1];
+        }
+        if (weights[weights.length - 1] <= 0) {
+            throw new IllegalArgumentException("loadtest.mix ne contient aucun poids positif : " + mix);
+        }
+        return weights;
+    }
+
+    private Operation pickOperation() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (Operation operation : Operation.values()) {
+            if (value < cumulativeWeights[operation.ordinal()]) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Mélange invalide");
+    }
+
+    private int randomSeededId() {
+        return seededIds[ThreadLocalRandom.current().nextInt(seededIds.length)];
+    }
+
+    private static Student newStudent(int seed) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(1980 + Math.floorMod(seed, 25), Math.floorMod(seed, 12), 1 + Math.floorMod(seed, 28));
+        return new Student("NOM" + Math.floorMod(seed, NB_NOMS), "Prenom" + Math.floorMod(seed, 1000), calendar.getTime());
+    }
+
+    private String toJson(int seed) {
+        try {
+            return objectMapper.writeValueAsString(newStudent(seed));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.student_management;
+
+import com.example.student_management.tenant.TenantFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vérifie sur une base H2 qu'un tenant ne voit ni ne modifie les étudiants d'un autre tenant
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class TenantIsolationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Accès SQL direct : les requêtes JPA sont filtrées sur le tenant courant
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int idEcoleA;
+    private int idEcoleB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Arrange - Un étudiant de même nom dans chaque école
+        jdbcTemplate.update("DELETE FROM students");
+        idEcoleA = saveStudent("ecole-a", "{\"nom\":\"ISOLATION\",\"prenom\":\"Alice\",\"dateNaissance\":\"2001-05-10\"}");
+        idEcoleB = saveStudent("ecole-b", "{\"nom\":\"ISOLATION\",\"prenom\":\"Bob\",\"dateNaissance\":\"1999-03-02\"}");
+    }
+
+    @Test
+    void testFindByNomSeesOnlyOwnTenant() throws Exception {
+        mockMvc.perform(get("/students/search/nom/ISOLATION").header(TenantFilter.TENANT_HEADER, "ecole-a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].prenom").value("Alice"))
+                .andExpect(jsonPath("$[0].tenantId").value("ecole-a"));
+    }
+
+    @Test
+    void testByYearSeesOnlyOwnTenant() throws Exception {
+        mockMvc.perform(get("/students/byYear").header(TenantFilter.TENANT_HEADER, "ecole-b"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0][0]").value(1999));
+    }
+
+    @Test
+    void testFindByIdOfOtherTenantNotFound() throws Exception {
+        mockMvc.perform(get("/students/" + idEcoleB).header(TenantFilter.TENANT_HEADER, "ecole-a"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/students/" + idEcoleB).header(TenantFilter.TENANT_HEADER, "ecole-b"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testUpdateOfOtherTenantNotFound() throws Exception {
+        mockMvc.perform(put("/students/update/" + idEcoleB)
+                        .header(TenantFilter.TENANT_HEADER, "ecole-a")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nom\":\"PIRATE\",\"prenom\":\"Eve\",\"dateNaissance\":\"2000-01-01\"}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/students/" + idEcoleB).header(TenantFilter.TENANT_HEADER, "ecole-b"))
+                .andExpect(jsonPath("$.prenom").value("Bob"));
+    }
+
+    @Test
+    void testDeleteOfOtherTenantNotFound() throws Exception {
+        mockMvc.perform(delete("/students/delete/" + idEcoleA).header(TenantFilter.TENANT_HEADER, "ecole-b"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/students/" + idEcoleA).header(TenantFilter.TENANT_HEADER, "ecole-a"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/students/delete/" + idEcoleA).header(TenantFilter.TENANT_HEADER, "ecole-a"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void testTenantIdCannotBeSetByClient() throws Exception {
+        int id = saveStudent("ecole-a", "{\"nom\":\"INTRUS\",\"prenom\":\"Eve\",\"tenantId\":\"ecole-b\"}");
+
+        mockMvc.perform(get("/students/search/nom/INTRUS").header(TenantFilter.TENANT_HEADER, "ecole-b"))
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/students/" + id).header(TenantFilter.TENANT_HEADER, "ecole-a"))
+                .andExpect(jsonPath("$.tenantId").value("ecole-a"));
+    }
+
+    private int saveStudent(String tenantId, String json) throws Exception {
+        String response = mockMvc.perform(post("/students/save")
+                        .header(TenantFilter.TENANT_HEADER, tenantId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asInt();
+    }
+}